@@ -0,0 +1,28 @@
+package com.retail.rewards.controller;
+
+import com.retail.rewards.model.EndpointLimitStats;
+import com.retail.rewards.ratelimit.RateLimitInterceptor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = {"/api/rewards", "/"})
+public class RateLimitController {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public RateLimitController(RateLimitInterceptor rateLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
+    // Rate limiter metrics per endpoint class. Not rate limited itself, so it stays readable
+    // while the limiter is rejecting traffic.
+    @GetMapping(value = "/limits")
+    public ResponseEntity<List<EndpointLimitStats>> getLimiterStats() {
+        return ResponseEntity.ok(rateLimitInterceptor.getStats());
+    }
+}
@@ -1,13 +1,18 @@
 package com.retail.rewards.controller;
 
 import com.retail.rewards.model.Customer;
+import com.retail.rewards.model.MonthSummary;
+import com.retail.rewards.model.RewardsStats;
 import com.retail.rewards.model.TransactionRecord;
+import com.retail.rewards.ratelimit.EndpointClass;
+import com.retail.rewards.ratelimit.RateLimited;
 import com.retail.rewards.service.RewardsService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -24,6 +29,7 @@ public class RewardsController {
 
     // Returns all customers and their computed rewards.
     // This is a simple read-only endpoint backed by the in-memory sample data loader.
+    @RateLimited(EndpointClass.BULK)
     @GetMapping(value = "/customers")
     public ResponseEntity<List<Customer>> getAllCustomerRewards() {
         List<Customer> customers = rewardsService.getCustomerRewards();
@@ -32,6 +38,7 @@ public class RewardsController {
 
     // Return a single customer by name. We validate the path variable and return
     // 400 for blank names and 404 when a customer isn't found.
+    @RateLimited(EndpointClass.LOOKUP)
     @GetMapping(value = "/customers/{name}")
     public ResponseEntity<Customer> getCustomerRewardsByName(@PathVariable String name) {
         if (name == null || name.isBlank()) {
@@ -42,10 +49,37 @@ public class RewardsController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 
-    // New endpoint: return a flat list of all valid transactions from the sample data
+    // New endpoint: return a flat list of all valid transactions from the sample data.
+    // With ?month=N only that month's partition is read instead of scanning every customer.
+    @RateLimited(EndpointClass.BULK)
     @GetMapping(value = "/transactions")
-    public ResponseEntity<List<TransactionRecord>> getAllTransactions() {
-        List<TransactionRecord> tx = rewardsService.getAllTransactions();
+    public ResponseEntity<List<TransactionRecord>> getAllTransactions(@RequestParam(required = false) Integer month) {
+        List<TransactionRecord> tx = month == null
+                ? rewardsService.getAllTransactions()
+                : rewardsService.getTransactionsForMonth(month);
         return ResponseEntity.ok(tx);
     }
+
+    // Per-month reward summaries, ordered by month. These are precomputed, so it's limited as a lookup.
+    @RateLimited(EndpointClass.LOOKUP)
+    @GetMapping(value = "/months")
+    public ResponseEntity<List<MonthSummary>> getMonthSummaries() {
+        return ResponseEntity.ok(rewardsService.getMonthSummaries());
+    }
+
+    // Summary for a single month; 404 when the month has no valid transactions.
+    @RateLimited(EndpointClass.LOOKUP)
+    @GetMapping(value = "/months/{month}")
+    public ResponseEntity<MonthSummary> getMonthSummary(@PathVariable int month) {
+        return rewardsService.getMonthSummary(month)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    // Approximate analytics from streaming sketches. Cheap regardless of data size, so it's limited as a lookup.
+    @RateLimited(EndpointClass.LOOKUP)
+    @GetMapping(value = "/stats")
+    public ResponseEntity<RewardsStats> getStats() {
+        return ResponseEntity.ok(rewardsService.getStats());
+    }
 }
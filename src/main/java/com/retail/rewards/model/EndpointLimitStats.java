@@ -0,0 +1,10 @@
+package com.retail.rewards.model;
+
+/**
+ * Snapshot of the rate limiter state for one endpoint class: configured limits, requests currently
+ * in flight, number of tracked clients, and running counts of allowed and rejected requests.
+ */
+public record EndpointLimitStats(String endpointClass, double permitsPerSecond, int burst, int maxConcurrent,
+                                 int inFlight, int trackedClients,
+                                 long allowed, long rejectedRateLimited, long rejectedSaturated) {
+}
@@ -0,0 +1,9 @@
+package com.retail.rewards.model;
+
+/**
+ * Approximate statistics for one month: distinct customers (HyperLogLog estimate) and the
+ * distributions of per-transaction reward points and amounts.
+ */
+public record MonthStats(int month, long transactionCount, long distinctCustomers,
+                         QuantileSummary rewardPoints, QuantileSummary amount) {
+}
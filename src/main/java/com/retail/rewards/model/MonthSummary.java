@@ -0,0 +1,8 @@
+package com.retail.rewards.model;
+
+/**
+ * Per-month reward summary: how many valid transactions fell in the month, how many distinct
+ * customers they came from, and the summed amount and reward points.
+ */
+public record MonthSummary(int month, int transactionCount, int distinctCustomers, double totalAmount, int totalRewards) {
+}
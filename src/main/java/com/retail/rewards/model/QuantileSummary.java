@@ -0,0 +1,8 @@
+package com.retail.rewards.model;
+
+/**
+ * Approximate distribution of a value: p50/p95/p99 from a quantile sketch plus the exact min and max.
+ * All fields are null when nothing was recorded.
+ */
+public record QuantileSummary(Double p50, Double p95, Double p99, Double min, Double max) {
+}
@@ -0,0 +1,13 @@
+package com.retail.rewards.model;
+
+import java.util.List;
+
+/**
+ * Approximate statistics across all months, plus the same statistics per month (ordered by month).
+ * The overall figures come from merging the monthly sketches, so a customer active in several
+ * months is counted once.
+ */
+public record RewardsStats(long transactionCount, long distinctCustomers,
+                           QuantileSummary rewardPoints, QuantileSummary amount,
+                           List<MonthStats> months) {
+}
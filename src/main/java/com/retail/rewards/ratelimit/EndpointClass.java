@@ -0,0 +1,12 @@
+package com.retail.rewards.ratelimit;
+
+/**
+ * Cost class of an endpoint. Each class has its own rate limits and concurrency cap, so
+ * expensive full-list reads can't use up the capacity meant for single lookups.
+ */
+public enum EndpointClass {
+    // Single-entity reads, e.g. /customers/{name}
+    LOOKUP,
+    // Full-list reads and exports, e.g. /customers and /transactions
+    BULK
+}
@@ -0,0 +1,135 @@
+package com.retail.rewards.ratelimit;
+
+import com.retail.rewards.model.EndpointLimitStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits for one {@link EndpointClass}: a token bucket per client plus a cap on requests in flight.
+ * The concurrency cap is shared by all clients, so it still protects the node when a
+ * client spreads its load over many client ids.
+ * At most maxTrackedClients buckets are kept. Clients that arrive while the table is full share a single
+ * overflow bucket, so flooding the table with new ids gets no more than one client's rate.
+ */
+final class EndpointLimiter {
+
+    // Idle-bucket sweeps of a full table are throttled so a flood of new clients can't make each request O(n).
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final EndpointClass endpointClass;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxConcurrent;
+    private final int maxTrackedClients;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // Slots are reserved here before inserting, so the table never grows past maxTrackedClients.
+    private final AtomicInteger trackedClients = new AtomicInteger();
+    private final AtomicLong lastSweepNanos;
+    private final TokenBucket overflow;
+    private final Semaphore inFlight;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedRateLimited = new LongAdder();
+    private final LongAdder rejectedSaturated = new LongAdder();
+
+    EndpointLimiter(EndpointClass endpointClass, double permitsPerSecond, int burst, int maxConcurrent,
+                    int maxTrackedClients, long nowNanos) {
+        if (maxConcurrent < 1 || maxTrackedClients < 1) {
+            throw new IllegalArgumentException("maxConcurrent and maxTrackedClients must be >= 1");
+        }
+        this.endpointClass = endpointClass;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxConcurrent = maxConcurrent;
+        this.maxTrackedClients = maxTrackedClients;
+        this.lastSweepNanos = new AtomicLong(nowNanos - SWEEP_INTERVAL_NANOS);
+        this.overflow = new TokenBucket(permitsPerSecond, burst, nowNanos);
+        this.inFlight = new Semaphore(maxConcurrent);
+    }
+
+    // Charge one token to the client. Returns 0 when allowed, otherwise nanoseconds to wait.
+    long tryAcquireToken(String clientId, long nowNanos) {
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket == null) {
+            bucket = track(clientId, nowNanos);
+        }
+        long waitNanos = bucket.tryAcquire(nowNanos);
+        if (waitNanos > 0) {
+            rejectedRateLimited.increment();
+        }
+        return waitNanos;
+    }
+
+    // Take a concurrency slot without waiting; a full class is rejected rather than queued.
+    boolean tryEnter() {
+        if (inFlight.tryAcquire()) {
+            return true;
+        }
+        rejectedSaturated.increment();
+        return false;
+    }
+
+    void exit() {
+        inFlight.release();
+    }
+
+    // Called once a request has passed both the concurrency and the rate check.
+    void recordAllowed() {
+        allowed.increment();
+    }
+
+    EndpointLimitStats stats() {
+        return new EndpointLimitStats(endpointClass.name(), permitsPerSecond, burst, maxConcurrent,
+                maxConcurrent - inFlight.availablePermits(), trackedClients.get(),
+                allowed.sum(), rejectedRateLimited.sum(), rejectedSaturated.sum());
+    }
+
+    // Give the client its own bucket if there is room, otherwise the shared overflow bucket.
+    private TokenBucket track(String clientId, long nowNanos) {
+        if (!reserveSlot(nowNanos)) {
+            return overflow;
+        }
+        TokenBucket created = new TokenBucket(permitsPerSecond, burst, nowNanos);
+        TokenBucket existing = buckets.putIfAbsent(clientId, created);
+        if (existing != null) {
+            // Another request for the same client got there first; give back our slot
+            trackedClients.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+
+    private boolean reserveSlot(long nowNanos) {
+        boolean swept = false;
+        while (true) {
+            int current = trackedClients.get();
+            if (current < maxTrackedClients) {
+                if (trackedClients.compareAndSet(current, current + 1)) return true;
+                continue;
+            }
+            if (swept || !trySweep(nowNanos)) return false;
+            swept = true;
+        }
+    }
+
+    // Full buckets carry no state, so dropping them is equivalent to keeping them.
+    // Returns false when another sweep ran too recently.
+    private boolean trySweep(long nowNanos) {
+        long last = lastSweepNanos.get();
+        if (nowNanos - last < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(last, nowNanos)) {
+            return false;
+        }
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isIdle(nowNanos) && buckets.remove(entry.getKey(), entry.getValue())) {
+                trackedClients.decrementAndGet();
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package com.retail.rewards.ratelimit;
+
+import com.retail.rewards.model.EndpointLimitStats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Applies per-client token buckets and per-class concurrency caps to handlers annotated with {@link RateLimited}.
+ * Requests over the client's rate get 429, and requests arriving while the class is at its
+ * concurrency cap get 503. Both responses carry a Retry-After header.
+ * Clients are keyed by remote address. The X-Client-Id header is only honoured when the request comes
+ * from one of the configured trusted proxies, since anyone else could pick a fresh id per request.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    // Client id set by a trusted proxy in front of the service.
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final String SLOT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".slot";
+
+    private final boolean enabled;
+    private final Set<String> trustedProxies;
+    private final Map<EndpointClass, EndpointLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimitInterceptor(
+            @Value("${rewards.ratelimit.enabled:true}") boolean enabled,
+            @Value("${rewards.ratelimit.lookup.permits-per-second:50}") double lookupRate,
+            @Value("${rewards.ratelimit.lookup.burst:100}") int lookupBurst,
+            @Value("${rewards.ratelimit.lookup.max-concurrent:64}") int lookupMaxConcurrent,
+            @Value("${rewards.ratelimit.bulk.permits-per-second:5}") double bulkRate,
+            @Value("${rewards.ratelimit.bulk.burst:20}") int bulkBurst,
+            @Value("${rewards.ratelimit.bulk.max-concurrent:4}") int bulkMaxConcurrent,
+            @Value("${rewards.ratelimit.max-tracked-clients:10000}") int maxTrackedClients,
+            @Value("${rewards.ratelimit.trusted-proxies:}") String trustedProxies) {
+        this(enabled, parseAddresses(trustedProxies),
+                new EndpointLimiter(EndpointClass.LOOKUP, lookupRate, lookupBurst, lookupMaxConcurrent, maxTrackedClients, System.nanoTime()),
+                new EndpointLimiter(EndpointClass.BULK, bulkRate, bulkBurst, bulkMaxConcurrent, maxTrackedClients, System.nanoTime()),
+                System::nanoTime);
+    }
+
+    // Package-private so tests can supply their own limits and clock.
+    RateLimitInterceptor(boolean enabled, Set<String> trustedProxies, EndpointLimiter lookup, EndpointLimiter bulk, LongSupplier clock) {
+        this.enabled = enabled;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.limiters.put(EndpointClass.LOOKUP, lookup);
+        this.limiters.put(EndpointClass.BULK, bulk);
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod method)) return true;
+        RateLimited limit = method.getMethodAnnotation(RateLimited.class);
+        if (limit == null) return true;
+
+        EndpointLimiter limiter = limiters.get(limit.value());
+        // Take the concurrency slot first so a client turned away by a saturated node isn't charged a token.
+        // Don't queue behind slow bulk requests; tell the client to come back instead.
+        if (!limiter.tryEnter()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return false;
+        }
+        long waitNanos = limiter.tryAcquireToken(clientId(request), clock.getAsLong());
+        if (waitNanos > 0) {
+            limiter.exit();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos));
+            return false;
+        }
+        limiter.recordAllowed();
+        request.setAttribute(SLOT_ATTRIBUTE, limiter);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object slot = request.getAttribute(SLOT_ATTRIBUTE);
+        if (slot instanceof EndpointLimiter limiter) {
+            request.removeAttribute(SLOT_ATTRIBUTE);
+            limiter.exit();
+        }
+    }
+
+    // Current limiter state for every endpoint class, in EndpointClass order.
+    public List<EndpointLimitStats> getStats() {
+        List<EndpointLimitStats> out = new ArrayList<>(limiters.size());
+        limiters.values().forEach(l -> out.add(l.stats()));
+        return out;
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        if (!trustedProxies.contains(remote)) return remote;
+        String header = request.getHeader(CLIENT_ID_HEADER);
+        return header == null || header.isBlank() ? remote : header.trim();
+    }
+
+    // Comma-separated list of addresses, e.g. "10.0.0.5, 10.0.0.6"; blank means no trusted proxies.
+    private static Set<String> parseAddresses(String value) {
+        Set<String> out = new HashSet<>();
+        if (value == null) return out;
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) out.add(part.trim());
+        }
+        return out;
+    }
+
+    // Retry-After is in whole seconds; round up so a client that honours it won't be rejected again.
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+}
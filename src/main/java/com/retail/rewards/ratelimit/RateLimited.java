@@ -0,0 +1,18 @@
+package com.retail.rewards.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as subject to {@link RateLimitInterceptor} under the given endpoint class.
+ * Handlers without this annotation are not limited.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    EndpointClass value();
+}
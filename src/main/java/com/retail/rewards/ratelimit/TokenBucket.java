@@ -0,0 +1,45 @@
+package com.retail.rewards.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. It stores only the time at which the bucket will next be full
+ * (the "theoretical arrival time" of the generic cell rate algorithm), so each acquire is
+ * a single compare-and-set on one AtomicLong.
+ * Times are in nanoseconds from a caller-supplied clock, which keeps the class easy to test.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos; // time to earn back one token
+    private final long burstToleranceNanos;   // how far ahead of "now" the bucket may run
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0 and burst >= 1");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = (burst - 1) * emissionIntervalNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // Take one token. Returns 0 when allowed, otherwise the nanoseconds until a token is available.
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            long allowAt = base - burstToleranceNanos;
+            if (nowNanos < allowAt) {
+                return allowAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // A bucket that has fully refilled holds no state worth keeping and can be evicted.
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,66 @@
+package com.retail.rewards.service;
+
+import com.retail.rewards.model.MonthSummary;
+import com.retail.rewards.model.TransactionRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * All valid transactions for a single month, stored column-wise as two parallel arrays
+ * (customer id, amount) instead of one object per transaction.
+ * The reward summary is computed once when the partition is built so month reports don't rescan it.
+ */
+final class MonthPartition {
+
+    private final int month;
+    private final int[] customerIds;
+    private final double[] amounts;
+    private final MonthSummary summary;
+
+    MonthPartition(int month, int[] customerIds, double[] amounts) {
+        if (customerIds.length != amounts.length) {
+            throw new IllegalArgumentException("customerIds and amounts must have the same length");
+        }
+        this.month = month;
+        this.customerIds = customerIds;
+        this.amounts = amounts;
+        this.summary = summarize();
+    }
+
+    MonthSummary summary() {
+        return summary;
+    }
+
+    // Materialize the partition as DTOs, resolving customer ids through the store's name dictionary.
+    List<TransactionRecord> toRecords(String[] customerNames) {
+        List<TransactionRecord> out = new ArrayList<>(amounts.length);
+        for (int i = 0; i < amounts.length; i++) {
+            out.add(new TransactionRecord(customerNames[customerIds[i]], month, amounts[i]));
+        }
+        return out;
+    }
+
+    private MonthSummary summarize() {
+        double totalAmount = 0;
+        int totalRewards = 0;
+        for (double amount : amounts) {
+            totalAmount += amount;
+            totalRewards += RewardsService.pointsFor(amount);
+        }
+        return new MonthSummary(month, amounts.length, countDistinct(customerIds), totalAmount, totalRewards);
+    }
+
+    // Ids are numbered across the whole store, so sort a copy of this partition's ids rather than
+    // allocating a table sized to every customer.
+    private static int countDistinct(int[] ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) distinct++;
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,97 @@
+package com.retail.rewards.service;
+
+import com.retail.rewards.model.MonthSummary;
+import com.retail.rewards.model.TransactionRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Secondary, month-first layout of the customer-first sample data.
+ * Month-scoped reads only touch the matching partition instead of visiting every customer.
+ * The store is built once and never modified, so it always matches the loader data behind the customer views.
+ */
+public class MonthPartitionedStore {
+
+    // Customer names are stored once; partitions refer to them by index.
+    private final String[] customerNames;
+    // Sorted by month so summaries come back in month order.
+    private final Map<Integer, MonthPartition> partitions;
+
+    private MonthPartitionedStore(String[] customerNames, Map<Integer, MonthPartition> partitions) {
+        this.customerNames = customerNames;
+        this.partitions = partitions;
+    }
+
+    // Build the store from the loader's customer -> month -> amounts map in a single pass.
+    // RewardsService fills a Builder directly so it can share that pass with the stats sketches.
+    static MonthPartitionedStore from(Map<String, Map<Integer, List<Double>>> customerData) {
+        Builder builder = new Builder();
+        RewardsService.forEachValidTransaction(customerData, builder::add);
+        return builder.build();
+    }
+
+    // Transactions for one month; empty when the month has no partition.
+    public List<TransactionRecord> getTransactions(int month) {
+        MonthPartition partition = partitions.get(month);
+        return partition == null ? new ArrayList<>() : partition.toRecords(customerNames);
+    }
+
+    public Optional<MonthSummary> getSummary(int month) {
+        return Optional.ofNullable(partitions.get(month)).map(MonthPartition::summary);
+    }
+
+    // Summaries for every partition, ordered by month.
+    public List<MonthSummary> getSummaries() {
+        List<MonthSummary> out = new ArrayList<>(partitions.size());
+        for (MonthPartition partition : partitions.values()) {
+            out.add(partition.summary());
+        }
+        return out;
+    }
+
+    // Collects transactions one at a time, so the store can be filled during a walk shared with other consumers.
+    static final class Builder {
+        private final Map<String, Integer> ids = new LinkedHashMap<>();
+        private final Map<Integer, PartitionBuilder> builders = new TreeMap<>();
+
+        void add(String customerName, int month, double amount) {
+            int id = ids.computeIfAbsent(customerName, k -> ids.size());
+            builders.computeIfAbsent(month, k -> new PartitionBuilder()).add(id, amount);
+        }
+
+        MonthPartitionedStore build() {
+            Map<Integer, MonthPartition> built = new TreeMap<>();
+            builders.forEach((month, b) -> built.put(month, b.build(month)));
+            return new MonthPartitionedStore(ids.keySet().toArray(new String[0]), built);
+        }
+    }
+
+    // Growable column buffers used only while building the store.
+    private static final class PartitionBuilder {
+        private int[] customerIds = new int[8];
+        private double[] amounts = new double[8];
+        private int size;
+
+        void add(int customerId, double amount) {
+            if (size == amounts.length) {
+                customerIds = Arrays.copyOf(customerIds, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+            }
+            customerIds[size] = customerId;
+            amounts[size] = amount;
+            size++;
+        }
+
+        MonthPartition build(int month) {
+            return new MonthPartition(month,
+                    Arrays.copyOf(customerIds, size),
+                    Arrays.copyOf(amounts, size));
+        }
+    }
+}
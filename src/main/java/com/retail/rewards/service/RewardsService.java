@@ -1,7 +1,9 @@
 package com.retail.rewards.service;
 
 import com.retail.rewards.model.Customer;
+import com.retail.rewards.model.MonthSummary;
 import com.retail.rewards.model.MonthlyRewards;
+import com.retail.rewards.model.RewardsStats;
 import com.retail.rewards.model.TransactionRecord;
 import org.springframework.stereotype.Service;
 
@@ -14,9 +16,51 @@ import java.util.Optional;
 public class RewardsService {
 
     private final SampleDataLoader loader;
+    // Month-first copy of the loader data so month-scoped queries don't visit every customer.
+    private final MonthPartitionedStore monthPartitions;
+    // Approximate statistics for /stats. The data never changes after loading, so this is computed once.
+    private final RewardsStats stats;
 
     public RewardsService(SampleDataLoader loader) {
         this.loader = loader;
+        // One pass over the loaded data fills both the partitions and the sketches, so they always
+        // describe the same transactions as the customer views.
+        MonthPartitionedStore.Builder partitions = new MonthPartitionedStore.Builder();
+        TransactionSketches sketches = new TransactionSketches();
+        forEachValidTransaction(loader.getData(), (customerName, month, amount) -> {
+            partitions.add(customerName, month, amount);
+            sketches.add(customerName, month, amount);
+        });
+        this.monthPartitions = partitions.build();
+        this.stats = sketches.snapshot();
+    }
+
+    // Receives one valid transaction during a walk of the loader data.
+    @FunctionalInterface
+    interface TransactionConsumer {
+        void accept(String customerName, int month, double amount);
+    }
+
+    // The single definition of a valid transaction, shared by every view of the data:
+    // - skip null customers/month maps/transaction lists and null or non-positive amounts
+    // - normalize a missing month to 0
+    static void forEachValidTransaction(Map<String, Map<Integer, List<Double>>> customerData, TransactionConsumer consumer) {
+        if (customerData == null || customerData.isEmpty()) return;
+        customerData.forEach((customerName, transactionsByMonth) -> {
+            if (customerName == null || transactionsByMonth == null) return;
+            for (Map.Entry<Integer, List<Double>> entry : transactionsByMonth.entrySet()) {
+                Integer month = entry.getKey();
+                List<Double> transactions = entry.getValue();
+                if (transactions == null) continue;
+                int safeMonth = month == null ? 0 : month;
+                for (Double t : transactions) {
+                    if (t == null) continue;
+                    // Skip non-positive amounts, keep only valid transactions
+                    if (t <= 0) continue;
+                    consumer.accept(customerName, safeMonth, t);
+                }
+            }
+        });
     }
 
     // Build a list of Customer DTOs from the loaded sample data.
@@ -54,27 +98,32 @@ public class RewardsService {
     // This is useful for debugging or returning raw transaction lists to clients.
     public List<TransactionRecord> getAllTransactions() {
         List<TransactionRecord> out = new ArrayList<>();
-        Map<String, Map<Integer, List<Double>>> customerData = loader.getData();
-        if (customerData == null || customerData.isEmpty()) return out;
-
-        customerData.forEach((customerName, transactionsByMonth) -> {
-            if (customerName == null || transactionsByMonth == null) return;
-            for (Map.Entry<Integer, List<Double>> entry : transactionsByMonth.entrySet()) {
-                Integer month = entry.getKey();
-                List<Double> transactions = entry.getValue();
-                if (transactions == null) continue;
-                int safeMonth = month == null ? 0 : month;
-                for (Double t : transactions) {
-                    if (t == null) continue;
-                    // Skip non-positive amounts, keep only valid transactions
-                    if (t <= 0) continue;
-                    out.add(new TransactionRecord(customerName, safeMonth, t));
-                }
-            }
-        });
+        forEachValidTransaction(loader.getData(), (customerName, month, amount) ->
+                out.add(new TransactionRecord(customerName, month, amount)));
         return out;
     }
 
+    // Same validation as getAllTransactions(), but reads only the requested month's partition.
+    public List<TransactionRecord> getTransactionsForMonth(int month) {
+        return monthPartitions.getTransactions(month);
+    }
+
+    // Per-month summaries (transaction count, distinct customers, amount and reward totals), ordered by month.
+    // These are precomputed when the partitions are built, so this never rescans transactions.
+    public List<MonthSummary> getMonthSummaries() {
+        return monthPartitions.getSummaries();
+    }
+
+    public Optional<MonthSummary> getMonthSummary(int month) {
+        return monthPartitions.getSummary(month);
+    }
+
+    // Approximate distinct customers and reward/amount percentiles, overall and per month.
+    // Computed from sketches once the data is loaded, so each call is constant-time.
+    public RewardsStats getStats() {
+        return stats;
+    }
+
     // Lookup by customer name (case-insensitive). Return Optional.empty() for null/blank input.
     // This keeps the controller code simple and centralizes lookup behavior here.
     public Optional<Customer> getCustomerRewardsByName(String name) {
@@ -95,20 +144,26 @@ public class RewardsService {
         if (transactions == null || transactions.isEmpty()) return 0;
         int rewards = 0;
         for (Double t : transactions) {
-            if (t == null || t <= 0) continue; // ignore invalid or non-positive amounts
-            double transaction = t;
-            // points for every dollar over 100 => 2 points per dollar
-            if (transaction > 100) {
-                // Only full dollars count. e.g., 120.99 => floor(20.99) -> 20 -> 2*20
-                rewards += (int) (2 * Math.floor(transaction - 100));
-                // plus 1 point for each dollar between 50 and 100 => 50 points
-                // (we award the whole 50-dollar band when transaction exceeds 100)
-                rewards += 50;
-            } else if (transaction > 50) {
-                // For transactions between 50 and 100, count whole dollars over 50.
-                rewards += (int) Math.floor(transaction - 50);
-            }
+            if (t == null) continue; // ignore invalid amounts
+            rewards += pointsFor(t);
         }
         return rewards;
     }
+
+    // Points for a single transaction amount; non-positive amounts earn nothing.
+    // Shared with MonthPartition so partition summaries use exactly the same rules.
+    static int pointsFor(double transaction) {
+        if (transaction <= 0) return 0;
+        // points for every dollar over 100 => 2 points per dollar
+        if (transaction > 100) {
+            // Only full dollars count. e.g., 120.99 => floor(20.99) -> 20 -> 2*20
+            // plus 1 point for each dollar between 50 and 100 => 50 points
+            // (we award the whole 50-dollar band when transaction exceeds 100)
+            return (int) (2 * Math.floor(transaction - 100)) + 50;
+        } else if (transaction > 50) {
+            // For transactions between 50 and 100, count whole dollars over 50.
+            return (int) Math.floor(transaction - 50);
+        }
+        return 0;
+    }
 }
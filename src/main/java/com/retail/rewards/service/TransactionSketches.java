@@ -0,0 +1,71 @@
+package com.retail.rewards.service;
+
+import com.retail.rewards.model.MonthStats;
+import com.retail.rewards.model.QuantileSummary;
+import com.retail.rewards.model.RewardsStats;
+import com.retail.rewards.sketch.HyperLogLog;
+import com.retail.rewards.sketch.QuantileSketch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-month streaming sketches, updated one transaction at a time as RewardsService walks the loaded data.
+ * Each month keeps a HyperLogLog of customer names and quantile sketches of reward points and amounts,
+ * so its memory is fixed no matter how many transactions arrive.
+ * Writes happen only while loading. After that the sketches are read-only.
+ */
+class TransactionSketches {
+
+    private final Map<Integer, MonthSketch> months = new TreeMap<>();
+
+    // Record one valid transaction. Callers are expected to have skipped null/non-positive amounts already.
+    void add(String customerName, int month, double amount) {
+        months.computeIfAbsent(month, m -> new MonthSketch()).add(customerName, amount, RewardsService.pointsFor(amount));
+    }
+
+    // Build the response from the sketches. RewardsService calls this once after loading and caches the result.
+    RewardsStats snapshot() {
+        MonthSketch overall = new MonthSketch();
+        List<MonthStats> monthStats = new ArrayList<>(months.size());
+        months.forEach((month, sketch) -> {
+            monthStats.add(new MonthStats(month, sketch.count, sketch.customers.estimate(),
+                    summarize(sketch.points), summarize(sketch.amounts)));
+            overall.merge(sketch);
+        });
+        return new RewardsStats(overall.count, overall.customers.estimate(),
+                summarize(overall.points), summarize(overall.amounts), monthStats);
+    }
+
+    private static QuantileSummary summarize(QuantileSketch sketch) {
+        if (sketch.count() == 0) {
+            return new QuantileSummary(null, null, null, null, null);
+        }
+        return new QuantileSummary(sketch.quantile(0.50), sketch.quantile(0.95), sketch.quantile(0.99),
+                sketch.min(), sketch.max());
+    }
+
+    private static final class MonthSketch {
+        private final HyperLogLog customers = new HyperLogLog();
+        private final QuantileSketch points = new QuantileSketch();
+        private final QuantileSketch amounts = new QuantileSketch();
+        // Exact count; the quantile sketches skip values they can't bucket, so their counts may be lower.
+        private long count;
+
+        void add(String customerName, double amount, int rewardPoints) {
+            count++;
+            customers.add(customerName);
+            points.add(rewardPoints);
+            amounts.add(amount);
+        }
+
+        void merge(MonthSketch other) {
+            count += other.count;
+            customers.merge(other.customers);
+            points.merge(other.points);
+            amounts.merge(other.amounts);
+        }
+    }
+}
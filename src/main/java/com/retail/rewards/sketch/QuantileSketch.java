@@ -0,0 +1,160 @@
+package com.retail.rewards.sketch;
+
+import java.util.Arrays;
+
+/**
+ * Quantile sketch for non-negative values in the style of DDSketch.
+ * Positive values go into logarithmically sized buckets, so any quantile is returned within the
+ * configured relative accuracy (1% by default). Zeros are counted separately.
+ * Memory is capped at maxBuckets counters. If the range grows beyond that, the lowest buckets are folded
+ * together, which only costs accuracy on the low quantiles.
+ * Sketches with the same settings can be merged. Not thread-safe.
+ */
+public class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    public static final int DEFAULT_MAX_BUCKETS = 2048;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int maxBuckets;
+
+    // counts[i] holds the bucket with index (offset + i); the array may have unused capacity past maxIndex
+    private long[] counts = new long[0];
+    private int offset;
+    private int maxIndex;
+    private long zeroCount;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BUCKETS);
+    }
+
+    public QuantileSketch(double relativeAccuracy, int maxBuckets) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1 || maxBuckets < 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1) and maxBuckets >= 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxBuckets = maxBuckets;
+    }
+
+    // Negative, NaN and infinite values are ignored; they have no bucket.
+    public void add(double value) {
+        if (!Double.isFinite(value) || value < 0) return;
+        if (value == 0) {
+            zeroCount++;
+        } else {
+            addToBucket(bucketIndex(value), 1);
+        }
+        count++;
+        min = Double.isNaN(min) ? value : Math.min(min, value);
+        max = Double.isNaN(max) ? value : Math.max(max, value);
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy || other.maxBuckets != maxBuckets) {
+            throw new IllegalArgumentException("cannot merge sketches with different settings");
+        }
+        if (other.count == 0) return;
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] > 0) {
+                addToBucket(other.offset + i, other.counts[i]);
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Double.isNaN(min) ? other.min : Math.min(min, other.min);
+        max = Double.isNaN(max) ? other.max : Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    // Value at quantile q (0..1), or NaN when the sketch is empty.
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+        if (count == 0) return Double.NaN;
+        long rank = (long) Math.floor(q * (count - 1));
+        // The extremes are tracked exactly, so don't approximate them
+        if (rank == 0) return min;
+        if (rank == count - 1) return max;
+        if (rank < zeroCount) return 0;
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // Bucket midpoint (in the relative-error sense), clamped to the exact observed range
+                double estimate = 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    private int bucketIndex(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    private void addToBucket(int index, long n) {
+        if (counts.length == 0) {
+            counts = new long[Math.min(8, maxBuckets)];
+            offset = index;
+            maxIndex = index;
+        }
+        if (index < offset) {
+            // Extend the window down as far as the cap allows, measured from the highest bucket in use
+            // (not the array capacity). Only what still falls below it is folded into the lowest bucket,
+            // the same result collapseLowest gives when the window grows upward, so merge order doesn't matter.
+            int newOffset = Math.max(index, maxIndex - maxBuckets + 1);
+            if (newOffset < offset) {
+                long[] grown = new long[maxIndex - newOffset + 1];
+                System.arraycopy(counts, 0, grown, offset - newOffset, maxIndex - offset + 1);
+                counts = grown;
+                offset = newOffset;
+            }
+            counts[Math.max(index, offset) - offset] += n;
+            return;
+        } else if (index - offset >= counts.length) {
+            int needed = index - offset + 1;
+            if (needed > maxBuckets) {
+                collapseLowest(needed - maxBuckets);
+            }
+            if (index - offset >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.min(maxBuckets, Math.max(index - offset + 1, counts.length * 2)));
+            }
+        }
+        counts[index - offset] += n;
+        maxIndex = Math.max(maxIndex, index);
+    }
+
+    // Merge the lowest k buckets into the one above them, shifting the window up by k.
+    private void collapseLowest(int k) {
+        long folded = 0;
+        for (int i = 0; i < k && i < counts.length; i++) {
+            folded += counts[i];
+        }
+        long[] shifted = new long[counts.length];
+        if (k < counts.length) {
+            System.arraycopy(counts, k, shifted, 0, counts.length - k);
+        }
+        shifted[0] += folded;
+        counts = shifted;
+        offset += k;
+    }
+}
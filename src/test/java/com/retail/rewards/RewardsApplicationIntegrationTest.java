@@ -33,4 +33,12 @@ public class RewardsApplicationIntegrationTest {
         assertThat(resp.getStatusCode().is2xxSuccessful()).isTrue();
         assertThat(resp.getBody()).contains("Customer2");
     }
+
+    @Test
+    void limitsEndpointReportsEndpointClasses() {
+        String url = "http://localhost:" + port + "/api/rewards/limits";
+        ResponseEntity<String> resp = restTemplate.getForEntity(url, String.class);
+        assertThat(resp.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(resp.getBody()).contains("LOOKUP").contains("BULK");
+    }
 }
@@ -1,6 +1,10 @@
 package com.retail.rewards.controller;
 
 import com.retail.rewards.model.Customer;
+import com.retail.rewards.model.MonthStats;
+import com.retail.rewards.model.MonthSummary;
+import com.retail.rewards.model.QuantileSummary;
+import com.retail.rewards.model.RewardsStats;
 import com.retail.rewards.model.MonthlyRewards;
 import com.retail.rewards.model.TransactionRecord;
 import com.retail.rewards.service.RewardsService;
@@ -14,8 +18,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -47,6 +55,16 @@ class RewardsControllerTest {
                 new TransactionRecord("C2", 2, 20.5)
         );
         when(rewardsService.getAllTransactions()).thenReturn(tx);
+        when(rewardsService.getTransactionsForMonth(anyInt())).thenReturn(List.of(tx.get(0)));
+
+        MonthSummary summary = new MonthSummary(1, 1, 1, 10.0, 0);
+        when(rewardsService.getMonthSummaries()).thenReturn(List.of(summary));
+        when(rewardsService.getMonthSummary(anyInt())).thenReturn(Optional.empty());
+        when(rewardsService.getMonthSummary(1)).thenReturn(Optional.of(summary));
+
+        QuantileSummary q = new QuantileSummary(10.0, 10.0, 10.0, 10.0, 10.0);
+        when(rewardsService.getStats()).thenReturn(
+                new RewardsStats(1, 1, q, q, List.of(new MonthStats(1, 1, 1, q, q))));
     }
 
     @Test
@@ -89,4 +107,40 @@ class RewardsControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/json"));
     }
+
+    @Test
+    void transactionsWithMonthUsesPartitionLookup() throws Exception {
+        mockMvc.perform(get("/transactions").param("month", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+        verify(rewardsService).getTransactionsForMonth(1);
+        verify(rewardsService, never()).getAllTransactions();
+    }
+
+    @Test
+    void monthSummariesEndpointReturnsOk() throws Exception {
+        mockMvc.perform(get("/api/rewards/months"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+    }
+
+    @Test
+    void monthSummaryReturnsOk() throws Exception {
+        mockMvc.perform(get("/months/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+    }
+
+    @Test
+    void monthSummaryNotFound() throws Exception {
+        mockMvc.perform(get("/months/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void statsEndpointReturnsJson() throws Exception {
+        mockMvc.perform(get("/api/rewards/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+    }
 }
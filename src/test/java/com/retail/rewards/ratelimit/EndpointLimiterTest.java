@@ -0,0 +1,46 @@
+package com.retail.rewards.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void floodOfDistinctClientsStaysWithinTrackedCap() {
+        EndpointLimiter limiter = new EndpointLimiter(EndpointClass.BULK, 1, 2, 4, 100, 0);
+        int granted = 0;
+        for (int i = 0; i < 5000; i++) {
+            if (limiter.tryAcquireToken("client-" + i, 0) == 0) granted++;
+        }
+        assertTrue(limiter.stats().trackedClients() <= 100);
+        // One request each from the 100 tracked clients, plus the shared overflow bucket's burst of 2
+        assertEquals(100 + 2, granted);
+    }
+
+    @Test
+    void idleBucketsAreSweptToMakeRoom() {
+        EndpointLimiter limiter = new EndpointLimiter(EndpointClass.BULK, 1, 1, 4, 2, 0);
+        assertEquals(0, limiter.tryAcquireToken("a", 0));
+        assertEquals(0, limiter.tryAcquireToken("b", 0));
+        // Table full and nothing idle yet: "c" lands in the overflow bucket
+        assertEquals(0, limiter.tryAcquireToken("c", 0));
+        assertTrue(limiter.tryAcquireToken("d", 0) > 0);
+
+        // Once "a" and "b" have refilled, a new client gets its own bucket again
+        assertEquals(0, limiter.tryAcquireToken("d", 2 * SECOND));
+        assertTrue(limiter.stats().trackedClients() <= 2);
+    }
+
+    @Test
+    void saturatedClassRejectsWithoutQueueing() {
+        EndpointLimiter limiter = new EndpointLimiter(EndpointClass.BULK, 1, 1, 1, 10, 0);
+        assertTrue(limiter.tryEnter());
+        assertFalse(limiter.tryEnter());
+        limiter.exit();
+        assertTrue(limiter.tryEnter());
+        assertEquals(1, limiter.stats().rejectedSaturated());
+    }
+}
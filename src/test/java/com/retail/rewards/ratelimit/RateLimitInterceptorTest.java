@@ -0,0 +1,142 @@
+package com.retail.rewards.ratelimit;
+
+import com.retail.rewards.model.EndpointLimitStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    // Stand-in controller so the interceptor sees real annotated handler methods
+    static class Handlers {
+        @RateLimited(EndpointClass.LOOKUP)
+        public void lookup() {}
+
+        @RateLimited(EndpointClass.BULK)
+        public void bulk() {}
+
+        public void unlimited() {}
+    }
+
+    private final AtomicLong now = new AtomicLong();
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = interceptorTrusting(Set.of(MockHttpServletRequest.DEFAULT_REMOTE_ADDR));
+    }
+
+    private RateLimitInterceptor interceptorTrusting(Set<String> trustedProxies) {
+        return new RateLimitInterceptor(true, trustedProxies,
+                new EndpointLimiter(EndpointClass.LOOKUP, 100, 100, 10, 100, 0),
+                new EndpointLimiter(EndpointClass.BULK, 1, 2, 1, 100, 0),
+                now::get);
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), name);
+    }
+
+    private static MockHttpServletRequest request(String clientId) {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/");
+        req.addHeader(RateLimitInterceptor.CLIENT_ID_HEADER, clientId);
+        return req;
+    }
+
+    // Run a full request (pre-handle and completion) and return the response
+    private MockHttpServletResponse call(String clientId, HandlerMethod handler) {
+        MockHttpServletRequest req = request(clientId);
+        MockHttpServletResponse resp = new MockHttpServletResponse();
+        if (interceptor.preHandle(req, resp, handler)) {
+            interceptor.afterCompletion(req, resp, handler, null);
+        }
+        return resp;
+    }
+
+    @Test
+    void bulkClientOverRateGets429WithRetryAfter() throws Exception {
+        HandlerMethod bulk = handler("bulk");
+        assertEquals(200, call("export", bulk).getStatus());
+        assertEquals(200, call("export", bulk).getStatus());
+
+        MockHttpServletResponse rejected = call("export", bulk);
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        // Other clients and the lookup class are unaffected
+        assertEquals(200, call("other", bulk).getStatus());
+        assertEquals(200, call("export", handler("lookup")).getStatus());
+    }
+
+    @Test
+    void saturatedClassGets503UntilSlotReleased() throws Exception {
+        HandlerMethod bulk = handler("bulk");
+        MockHttpServletRequest first = request("a");
+        MockHttpServletResponse firstResp = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(first, firstResp, bulk));
+
+        MockHttpServletResponse blocked = call("b", bulk);
+        assertEquals(503, blocked.getStatus());
+        assertNotNull(blocked.getHeader("Retry-After"));
+
+        interceptor.afterCompletion(first, firstResp, bulk, null);
+        assertEquals(200, call("c", bulk).getStatus());
+    }
+
+    @Test
+    void saturationRejectionDoesNotChargeToken() throws Exception {
+        HandlerMethod bulk = handler("bulk");
+        MockHttpServletRequest holder = request("a");
+        MockHttpServletResponse holderResp = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(holder, holderResp, bulk));
+
+        assertEquals(503, call("b", bulk).getStatus());
+        assertEquals(503, call("b", bulk).getStatus());
+        interceptor.afterCompletion(holder, holderResp, bulk, null);
+
+        // "b" still has its full burst of 2
+        assertEquals(200, call("b", bulk).getStatus());
+        assertEquals(200, call("b", bulk).getStatus());
+    }
+
+    @Test
+    void clientIdHeaderIgnoredFromUntrustedAddress() throws Exception {
+        interceptor = interceptorTrusting(Set.of());
+        HandlerMethod bulk = handler("bulk");
+        assertEquals(200, call("id-1", bulk).getStatus());
+        assertEquals(200, call("id-2", bulk).getStatus());
+        // A fresh header value doesn't buy a fresh bucket: all three share the remote address
+        assertEquals(429, call("id-3", bulk).getStatus());
+    }
+
+    @Test
+    void unannotatedHandlersAreNotLimited() throws Exception {
+        HandlerMethod unlimited = handler("unlimited");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, call("export", unlimited).getStatus());
+        }
+    }
+
+    @Test
+    void statsReflectDecisions() throws Exception {
+        HandlerMethod bulk = handler("bulk");
+        call("x", bulk);
+        call("x", bulk);
+        call("x", bulk);
+
+        EndpointLimitStats stats = interceptor.getStats().stream()
+                .filter(s -> s.endpointClass().equals("BULK")).findFirst().orElseThrow();
+        assertEquals(2, stats.allowed());
+        assertEquals(1, stats.rejectedRateLimited());
+        assertEquals(0, stats.rejectedSaturated());
+        assertEquals(0, stats.inFlight());
+        assertEquals(1, stats.trackedClients());
+    }
+}
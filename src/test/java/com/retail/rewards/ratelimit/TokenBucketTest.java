@@ -0,0 +1,44 @@
+package com.retail.rewards.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstThenRejectsWithWaitTime() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0); // one token every 500ms, burst of 3
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+
+        long wait = bucket.tryAcquire(0);
+        assertEquals(SECOND / 2, wait);
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+        assertEquals(0, bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+        assertEquals(0, bucket.tryAcquire(SECOND));
+    }
+
+    @Test
+    void idleOnlyOnceFullyRefilled() {
+        TokenBucket bucket = new TokenBucket(1, 5, 0);
+        assertTrue(bucket.isIdle(0));
+        bucket.tryAcquire(0);
+        assertFalse(bucket.isIdle(0));
+        assertTrue(bucket.isIdle(SECOND));
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+    }
+}
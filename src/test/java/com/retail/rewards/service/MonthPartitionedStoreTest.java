@@ -0,0 +1,42 @@
+package com.retail.rewards.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthPartitionedStoreTest {
+
+    private static Map<String, Map<Integer, List<Double>>> sample() {
+        Map<Integer, List<Double>> a = new HashMap<>();
+        a.put(1, List.of(10.0));
+        a.put(2, Arrays.asList(20.0, 0.0));
+        a.put(null, List.of(5.0));
+        Map<Integer, List<Double>> b = new HashMap<>();
+        b.put(3, List.of(30.0));
+        Map<String, Map<Integer, List<Double>>> data = new HashMap<>();
+        data.put("A", a);
+        data.put("B", b);
+        return data;
+    }
+
+    @Test
+    void partitionsByMonthAndNormalizesMissingMonth() {
+        MonthPartitionedStore store = MonthPartitionedStore.from(sample());
+        assertEquals(4, store.getSummaries().size());
+        assertEquals(0, store.getSummaries().get(0).month());
+        assertEquals(1, store.getTransactions(2).size());
+        assertEquals("B", store.getTransactions(3).get(0).customerName());
+    }
+
+    @Test
+    void nullDataProducesEmptyStore() {
+        MonthPartitionedStore store = MonthPartitionedStore.from(null);
+        assertTrue(store.getSummaries().isEmpty());
+        assertTrue(store.getTransactions(1).isEmpty());
+    }
+}
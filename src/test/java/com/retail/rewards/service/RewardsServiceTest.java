@@ -1,7 +1,10 @@
 package com.retail.rewards.service;
 
 import com.retail.rewards.model.Customer;
+import com.retail.rewards.model.MonthSummary;
+import com.retail.rewards.model.MonthStats;
 import com.retail.rewards.model.MonthlyRewards;
+import com.retail.rewards.model.RewardsStats;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
@@ -138,4 +141,98 @@ class RewardsServiceTest {
         assertNotNull(tx);
         assertTrue(tx.isEmpty());
     }
+
+    @Test
+    void transactionsForMonthReadOnlyThatMonth() {
+        Map<Integer, List<Double>> c1 = new HashMap<>();
+        c1.put(1, Arrays.asList(120.0, -1.0));
+        c1.put(2, List.of(55.0));
+        Map<Integer, List<Double>> c2 = new HashMap<>();
+        c2.put(1, Arrays.asList(60.0, null));
+        Map<String, Map<Integer, List<Double>>> data = new HashMap<>();
+        data.put("C1", c1);
+        data.put("C2", c2);
+
+        RewardsService svc = new RewardsService(new TestSampleDataLoader(data));
+        var month1 = svc.getTransactionsForMonth(1);
+        assertEquals(2, month1.size());
+        assertTrue(month1.stream().allMatch(r -> r.month() == 1));
+        assertTrue(svc.getTransactionsForMonth(3).isEmpty());
+    }
+
+    @Test
+    void monthSummariesMatchPerCustomerRewards() {
+        Map<Integer, List<Double>> c1 = new HashMap<>();
+        c1.put(1, List.of(120.0)); // 90
+        c1.put(2, List.of(55.0)); // 5
+        Map<Integer, List<Double>> c2 = new HashMap<>();
+        c2.put(1, Arrays.asList(60.0, 200.0)); // 10 + 250
+        Map<String, Map<Integer, List<Double>>> data = new HashMap<>();
+        data.put("C1", c1);
+        data.put("C2", c2);
+
+        RewardsService svc = new RewardsService(new TestSampleDataLoader(data));
+        List<MonthSummary> summaries = svc.getMonthSummaries();
+        assertEquals(2, summaries.size());
+
+        MonthSummary m1 = summaries.get(0);
+        assertEquals(1, m1.month());
+        assertEquals(3, m1.transactionCount());
+        assertEquals(2, m1.distinctCustomers());
+        assertEquals(380.0, m1.totalAmount(), 1e-9);
+        assertEquals(90 + 10 + 250, m1.totalRewards());
+
+        MonthSummary m2 = svc.getMonthSummary(2).orElseThrow();
+        assertEquals(1, m2.distinctCustomers());
+        assertEquals(5, m2.totalRewards());
+        assertTrue(svc.getMonthSummary(7).isEmpty());
+    }
+
+    @Test
+    void statsDescribeTheLoaderData() {
+        Map<Integer, List<Double>> c1 = new HashMap<>();
+        c1.put(1, Arrays.asList(120.0, 0.0, null)); // 90 points; invalid amounts skipped
+        c1.put(2, List.of(55.0)); // 5
+        Map<Integer, List<Double>> c2 = new HashMap<>();
+        c2.put(1, List.of(200.0)); // 250
+        Map<String, Map<Integer, List<Double>>> data = new HashMap<>();
+        data.put("C1", c1);
+        data.put("C2", c2);
+
+        RewardsService svc = new RewardsService(new TestSampleDataLoader(data));
+        RewardsStats stats = svc.getStats();
+        // Same transactions as getAllTransactions(), not the classpath sample data
+        assertEquals(svc.getAllTransactions().size(), stats.transactionCount());
+        assertEquals(3, stats.transactionCount());
+        assertEquals(2, stats.distinctCustomers());
+        assertEquals(5.0, stats.rewardPoints().min());
+        assertEquals(250.0, stats.rewardPoints().max());
+        assertEquals(200.0, stats.amount().max());
+
+        assertEquals(2, stats.months().size());
+        MonthStats m1 = stats.months().get(0);
+        assertEquals(1, m1.month());
+        assertEquals(2, m1.transactionCount());
+        assertEquals(2, m1.distinctCustomers());
+        assertEquals(120.0, m1.amount().min());
+        MonthStats m2 = stats.months().get(1);
+        assertEquals(1, m2.distinctCustomers());
+        assertEquals(55.0, m2.amount().p50());
+    }
+
+    @Test
+    void infiniteAmountDoesNotBreakStats() {
+        // A JSON amount like 1e309 parses to Infinity and passes the "> 0" validity check
+        Map<Integer, List<Double>> months = new HashMap<>();
+        months.put(1, Arrays.asList(55.0, 120.0, Double.POSITIVE_INFINITY));
+        Map<String, Map<Integer, List<Double>>> data = new HashMap<>();
+        data.put("Inf", months);
+
+        RewardsService svc = new RewardsService(new TestSampleDataLoader(data));
+        RewardsStats stats = svc.getStats();
+        assertEquals(svc.getAllTransactions().size(), stats.transactionCount());
+        assertEquals(3, stats.months().get(0).transactionCount());
+        assertEquals(120.0, stats.amount().max());
+        assertTrue(Double.isFinite(stats.amount().p99()));
+    }
 }
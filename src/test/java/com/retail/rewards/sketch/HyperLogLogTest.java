@@ -0,0 +1,44 @@
+package com.retail.rewards.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void smallCardinalitiesAreExactOrNearlySo() {
+        HyperLogLog hll = new HyperLogLog();
+        assertEquals(0, hll.estimate());
+        for (int i = 0; i < 3; i++) {
+            hll.add("Customer1");
+            hll.add("Customer2");
+            hll.add("Special Name Üser");
+        }
+        assertEquals(3, hll.estimate());
+    }
+
+    @Test
+    void largeCardinalityWithinFewPercent() {
+        HyperLogLog hll = new HyperLogLog();
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            hll.add("customer-" + i);
+        }
+        double error = Math.abs(hll.estimate() - n) / (double) n;
+        assertTrue(error < 0.05, "relative error was " + error);
+    }
+
+    @Test
+    void mergeCountsUnionOnce() {
+        HyperLogLog a = new HyperLogLog();
+        HyperLogLog b = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) a.add("c" + i);
+        for (int i = 500; i < 1500; i++) b.add("c" + i);
+        a.merge(b);
+        double error = Math.abs(a.estimate() - 1500) / 1500.0;
+        assertTrue(error < 0.05, "relative error was " + error);
+
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new HyperLogLog(10)));
+    }
+}
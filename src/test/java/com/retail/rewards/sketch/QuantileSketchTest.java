@@ -0,0 +1,119 @@
+package com.retail.rewards.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    // Within the sketch's 1% relative accuracy, with a little slack for rank rounding
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, expected * 0.02 + 1e-9);
+    }
+
+    @Test
+    void quantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 1; i <= 10_000; i++) {
+            sketch.add(i);
+        }
+        assertEquals(10_000, sketch.count());
+        assertClose(5000, sketch.quantile(0.50));
+        assertClose(9500, sketch.quantile(0.95));
+        assertClose(9900, sketch.quantile(0.99));
+        assertEquals(1, sketch.min());
+        assertEquals(10_000, sketch.max());
+    }
+
+    @Test
+    void zerosAndInvalidValues() {
+        QuantileSketch sketch = new QuantileSketch();
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(90);
+        sketch.add(-5);
+        sketch.add(Double.NaN);
+        sketch.add(Double.POSITIVE_INFINITY);
+        assertEquals(3, sketch.count());
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(90, sketch.quantile(1.0));
+    }
+
+    @Test
+    void mergeMatchesSingleSketch() {
+        QuantileSketch all = new QuantileSketch();
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        for (int i = 1; i <= 1000; i++) {
+            all.add(i);
+            (i <= 500 ? low : high).add(i);
+        }
+        low.merge(high);
+        assertEquals(all.count(), low.count());
+        assertEquals(all.quantile(0.5), low.quantile(0.5));
+        assertEquals(all.quantile(0.99), low.quantile(0.99));
+    }
+
+    @Test
+    void bucketCapKeepsHighQuantilesAccurate() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 64);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add(Math.pow(10, (i % 10) - 3)); // 0.001 .. 1e6, far wider than 64 buckets
+        }
+        sketch.add(1e6);
+        assertClose(1e6, sketch.quantile(0.99));
+        assertEquals(0.001, sketch.min());
+    }
+
+    @Test
+    void growingDownwardUnderCapDoesNotFold() {
+        // Regression: unused array capacity used to count against the bucket cap, folding values
+        // that fit well within it. This spans 43 buckets, under the cap of 64.
+        double gamma = (1 + 0.01) / (1 - 0.01);
+        QuantileSketch sketch = new QuantileSketch(0.01, 64);
+        sketch.add(100);
+        sketch.add(100 * Math.pow(gamma, 8));
+        sketch.add(100 * Math.pow(gamma, 16));
+        sketch.add(100 * Math.pow(gamma, 32));
+        double low = 100 / Math.pow(gamma, 10);
+        for (int i = 0; i < 10; i++) {
+            sketch.add(low);
+        }
+        assertEquals(low, sketch.quantile(0.25), low * 0.01);
+        assertEquals(low, sketch.quantile(0.5), low * 0.01);
+    }
+
+    @Test
+    void infiniteValuesAreIgnored() {
+        // Regression: Infinity mapped to bucket Integer.MAX_VALUE and overflowed the bucket offset
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0.5);
+        sketch.add(Double.POSITIVE_INFINITY);
+        sketch.add(55);
+        sketch.add(120);
+        assertEquals(3, sketch.count());
+        assertEquals(120, sketch.max());
+        assertClose(55, sketch.quantile(0.5));
+    }
+
+    @Test
+    void mergeOrderDoesNotChangeQuantilesWhenCapped() {
+        QuantileSketch lo = new QuantileSketch(0.01, 64);
+        QuantileSketch hi = new QuantileSketch(0.01, 64);
+        QuantileSketch lo2 = new QuantileSketch(0.01, 64);
+        QuantileSketch hi2 = new QuantileSketch(0.01, 64);
+        for (int i = 0; i < 100; i++) {
+            lo.add(1 + i * 0.001);
+            lo2.add(1 + i * 0.001);
+            hi.add(1e6 + i * 1000);
+            hi2.add(1e6 + i * 1000);
+        }
+        lo.merge(hi);
+        hi2.merge(lo2);
+        for (double q : new double[] {0.1, 0.25, 0.5, 0.75, 0.95, 0.99}) {
+            assertEquals(lo.quantile(q), hi2.quantile(q), "quantile " + q);
+        }
+        assertClose(1.1e6, lo.quantile(0.99));
+    }
+}